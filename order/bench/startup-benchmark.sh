@@ -0,0 +1,72 @@
+#!/usr/bin/env bash
+#
+# Startup and first-request latency: plain jar vs. AOT + CDS (mvn -Pfast-startup package).
+#
+# Needs MySQL and Kafka from application.properties to be reachable, and both builds present:
+#   mvn -B package -DskipTests && cp target/order-0.0.1-SNAPSHOT.jar target/order-plain.jar
+#   mvn -B -Pfast-startup package -DskipTests
+#   ./bench/startup-benchmark.sh [runs]
+#
+# The CDS archive only loads on the JDK that recorded it (the one running Maven); set JAVA_HOME to it.
+#
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+PORT="${PORT:-8088}"
+URL="http://localhost:${PORT}/api/orders?page=0&size=1"
+JAVA="${JAVA_HOME:+$JAVA_HOME/bin/}java"
+PLAIN_JAR="target/order-plain.jar"
+CDS_DIR="target/cds"
+
+for f in "$PLAIN_JAR" "$CDS_DIR/application.jsa"; do
+    [[ -e "$f" ]] || { echo "missing $f, see the header of $0" >&2; exit 1; }
+done
+
+now_ms() { date +%s%3N; }
+
+# Prints "<spring startup s> <ms until first 2xx> <first request ms>"
+run_once() {
+    local log
+    log="$(mktemp)"
+    local start
+    start="$(now_ms)"
+    "$@" --server.port="$PORT" --order.id.worker-id=0 >"$log" 2>&1 &
+    local pid=$!
+
+    # The first 2xx of the poll is the first request the application served.
+    local code="000" first="0"
+    until [[ "$code" == 2* ]]; do
+        kill -0 "$pid" 2>/dev/null || { cat "$log" >&2; exit 1; }
+        sleep 0.05
+        read -r code first < <(curl -s -o /dev/null -w '%{http_code} %{time_total}\n' "$URL" || true)
+    done
+    local ready
+    ready="$(now_ms)"
+
+    kill "$pid"
+    wait "$pid" 2>/dev/null || true
+
+    local started
+    started="$(grep -o 'Started OrderApplication in [0-9.]*' "$log" | awk '{print $4}')"
+    rm -f "$log"
+
+    echo "$started $((ready - start)) $(awk -v t="$first" 'BEGIN { printf "%.1f", t * 1000 }')"
+}
+
+bench() {
+    local name="$1"; shift
+    local results=()
+    for ((i = 1; i <= RUNS; i++)); do
+        results+=("$(run_once "$@")")
+    done
+    printf '%s\n' "${results[@]}" | awk -v name="$name" '
+        { s += $1; r += $2; f += $3 }
+        END { printf "%-12s startup %6.2f s   ready %6d ms   first request %7.1f ms   (avg of %d)\n",
+                     name, s / NR, r / NR, f / NR, NR }'
+}
+
+bench "plain" "$JAVA" -jar "$PLAIN_JAR"
+bench "aot+cds" "$JAVA" -XX:SharedArchiveFile="$CDS_DIR/application.jsa" -Dspring.aot.enabled=true \
+    -jar "$CDS_DIR/order-0.0.1-SNAPSHOT.jar"
@@ -1,11 +1,15 @@
 package com.api.order.controller;
 
+import com.api.order.dto.req.BulkStatusUpdateRequest;
 import com.api.order.dto.req.OrderRequest;
+import com.api.order.dto.req.OrderSearchRequest;
+import com.api.order.dto.res.BulkStatusUpdateResponse;
+import com.api.order.dto.res.OrderDetailResponse;
 import com.api.order.dto.res.OrderResponse;
+import com.api.order.dto.res.OrderSearchResponse;
 import com.api.order.entity.Orders;
 import com.api.order.exceptions.ApiException;
 import com.api.order.service.OrderService;
-import jakarta.transaction.Transactional;
 import jakarta.validation.Valid;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -35,15 +39,24 @@ public class OrdersController {
         Pageable pageable = PageRequest.of(page, size);
         Page<OrderResponse> orders = orderService.getAllOrders(pageable);
         return ResponseEntity.ok(orders);
+        } catch (ApiException ex) {
+            throw ex;
         } catch (Exception ex) {
             log.error("Error fetching orders with pagination", ex);
             throw new ApiException("Failed to fetch paginated orders", "ORDER_PAGINATION_FAILED");
         }
     }
 
+    @GetMapping("/orders/search")
+    public ResponseEntity<OrderSearchResponse> searchOrders(@Valid @ModelAttribute OrderSearchRequest request) {
+        return ResponseEntity.ok(orderService.searchOrders(request));
+    }
+
     @GetMapping(value = "/order/{id}")
-    public ResponseEntity<?> getOrderById(@PathVariable("id") Long id) {
-        return ResponseEntity.ok(orderService.getOrderById(id));
+    public ResponseEntity<OrderDetailResponse> getOrderById(
+            @PathVariable("id") Long id,
+            @RequestParam(defaultValue = "true") boolean includeHistory) {
+        return ResponseEntity.ok(orderService.getOrderDetails(id, includeHistory));
 
     }
 
@@ -54,7 +67,6 @@ public class OrdersController {
     }
 
     @PatchMapping(value = "/order")
-    @Transactional
     public ResponseEntity<?> updateOrder(@RequestParam Map<String, String> params) {
         if (params.isEmpty()) {
             throw new ApiException("No parameters provided for update", "NO_UPDATE_PARAMS");
@@ -64,6 +76,11 @@ public class OrdersController {
         return ResponseEntity.ok("Order updated successfully");
     }
 
+    @PatchMapping(value = "/orders/status")
+    public ResponseEntity<BulkStatusUpdateResponse> updateOrderStatuses(@Valid @RequestBody BulkStatusUpdateRequest request) {
+        return ResponseEntity.ok(orderService.updateOrderStatuses(request));
+    }
+
     @GetMapping(value = "/order/{id}/status" )
     public ResponseEntity<?> getOrderStatus(@PathVariable("id") Long id) {
 
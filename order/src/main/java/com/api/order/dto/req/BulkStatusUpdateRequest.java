@@ -0,0 +1,16 @@
+package com.api.order.dto.req;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+
+import java.util.List;
+
+public record BulkStatusUpdateRequest(
+        @NotEmpty(message = "At least one transition must be provided")
+        @Size(max = 5000, message = "At most 5000 transitions per request")
+        List<@Valid @NotNull StatusTransitionRequest> transitions,
+
+        String updatedBy) {
+}
@@ -0,0 +1,31 @@
+package com.api.order.dto.req;
+
+import com.api.order.exceptions.ApiException;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Position of the last order on a search page: its {@code orderTime} and id, in that sort order.
+ * Travels as {@code <orderTime as ISO instant>_<id>}.
+ */
+public record OrderSearchCursor(OffsetDateTime orderTime, long id) {
+
+    public static OrderSearchCursor parse(String cursor) {
+        int separator = cursor.lastIndexOf('_');
+        try {
+            Instant orderTime = Instant.parse(cursor.substring(0, separator));
+            long id = Long.parseLong(cursor.substring(separator + 1));
+            return new OrderSearchCursor(orderTime.atOffset(ZoneOffset.UTC), id);
+        } catch (IndexOutOfBoundsException | DateTimeParseException | NumberFormatException ex) {
+            throw new ApiException("Invalid search cursor: " + cursor, "INVALID_CURSOR");
+        }
+    }
+
+    @Override
+    public String toString() {
+        return orderTime.toInstant() + "_" + id;
+    }
+}
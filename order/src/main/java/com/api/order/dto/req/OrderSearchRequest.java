@@ -0,0 +1,51 @@
+package com.api.order.dto.req;
+
+import com.api.order.enums.OrderStatus;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.Size;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Filters for {@code GET /api/orders/search}. Every filter is optional but at least one must be set;
+ * {@code cursor} is the {@code nextCursor} of the previous page.
+ */
+public record OrderSearchRequest(
+        OrderStatus status,
+
+        String customerName,
+
+        // An empty prefix would match every order
+        @Size(min = 1, message = "customerNamePrefix must not be empty")
+        String customerNamePrefix,
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        OffsetDateTime orderTimeFrom,
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        OffsetDateTime orderTimeTo,
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        OffsetDateTime createdFrom,
+
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+        OffsetDateTime createdTo,
+
+        String cursor,
+
+        @Min(value = 1, message = "Size must be at least 1")
+        @Max(value = 100, message = "Size must be at most 100")
+        Integer size) {
+
+    public boolean hasFilter() {
+        return status != null
+                || customerName != null
+                || customerNamePrefix != null
+                || orderTimeFrom != null
+                || orderTimeTo != null
+                || createdFrom != null
+                || createdTo != null;
+    }
+}
@@ -0,0 +1,15 @@
+package com.api.order.dto.req;
+
+import com.api.order.enums.OrderStatus;
+import jakarta.validation.constraints.NotNull;
+
+public record StatusTransitionRequest(
+        @NotNull(message = "Order id is required")
+        Long orderId,
+
+        @NotNull(message = "Expected status is required")
+        OrderStatus expectedStatus,
+
+        @NotNull(message = "New status is required")
+        OrderStatus newStatus) {
+}
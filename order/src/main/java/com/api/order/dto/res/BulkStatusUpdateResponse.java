@@ -0,0 +1,9 @@
+package com.api.order.dto.res;
+
+import java.util.List;
+
+public record BulkStatusUpdateResponse(
+        int updated,
+        int failed,
+        List<StatusTransitionResponse> results
+) {}
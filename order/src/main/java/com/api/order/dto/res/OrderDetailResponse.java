@@ -0,0 +1,22 @@
+package com.api.order.dto.res;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public record OrderDetailResponse(
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        Long id,
+        String customerName,
+        List<ProductResponse> items,
+        BigDecimal totalAmount,
+        OffsetDateTime orderTime,
+        String status,
+        Timestamp createdAt,
+        Timestamp updatedAt,
+        String notes,
+        List<OrderStatusResponse> statusHistory
+) {}
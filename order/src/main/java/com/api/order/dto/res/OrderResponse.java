@@ -1,10 +1,13 @@
 package com.api.order.dto.res;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+
 import java.math.BigDecimal;
 import java.time.OffsetDateTime;
 import java.util.List;
 
 public record OrderResponse(
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
         Long id,
         String customerName,
         List<ProductResponse> items,
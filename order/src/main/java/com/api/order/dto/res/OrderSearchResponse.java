@@ -0,0 +1,9 @@
+package com.api.order.dto.res;
+
+import java.util.List;
+
+public record OrderSearchResponse(
+        List<OrderResponse> content,
+        String nextCursor,
+        boolean hasNext
+) {}
@@ -0,0 +1,14 @@
+package com.api.order.dto.res;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.sql.Timestamp;
+
+public record OrderStatusResponse(
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        Long id,
+        String status,
+        String updatedBy,
+        Timestamp updatedAt,
+        String notes
+) {}
@@ -1,8 +1,11 @@
 package com.api.order.dto.res;
 
+import com.fasterxml.jackson.annotation.JsonFormat;
+
 import java.math.BigDecimal;
 
 public record ProductResponse(
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
         Long id,
         String name,
         Integer qty,
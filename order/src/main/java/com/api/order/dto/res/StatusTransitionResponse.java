@@ -0,0 +1,11 @@
+package com.api.order.dto.res;
+
+import com.api.order.enums.TransitionOutcome;
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+public record StatusTransitionResponse(
+        @JsonFormat(shape = JsonFormat.Shape.STRING)
+        Long orderId,
+        TransitionOutcome outcome,
+        String currentStatus
+) {}
@@ -1,6 +1,7 @@
 package com.api.order.entity;
 
 import com.api.order.enums.OrderStatus;
+import com.api.order.id.SnowflakeId;
 import com.fasterxml.jackson.annotation.JsonBackReference;
 import jakarta.persistence.*;
 import lombok.*;
@@ -17,7 +18,7 @@ import java.sql.Timestamp;
 public class OrderStatusDetails {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -1,9 +1,11 @@
 package com.api.order.entity;
 
 import com.api.order.enums.OrderStatus;
+import com.api.order.id.SnowflakeId;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
 import jakarta.persistence.*;
 import lombok.*;
+import org.springframework.data.domain.Persistable;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
@@ -11,16 +13,21 @@ import java.time.OffsetDateTime;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders", indexes = {
+        @Index(name = "idx_orders_customer_time", columnList = "customer_name, order_time"),
+        @Index(name = "idx_orders_status_time", columnList = "status, order_time"),
+        @Index(name = "idx_orders_order_time", columnList = "order_time"),
+        @Index(name = "idx_orders_created_at", columnList = "created_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-public class Orders {
+public class Orders implements Persistable<Long> {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @SnowflakeId
     private Long id;
 
     @Column(nullable = false)
@@ -53,4 +60,20 @@ public class Orders {
 
     private String notes;
 
+    // The id is assigned before saving to pick the shard, so Spring Data cannot infer newness from it
+    @Transient
+    @Builder.Default
+    private boolean isNew = true;
+
+    @Override
+    public boolean isNew() {
+        return isNew;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
 }
@@ -0,0 +1,10 @@
+package com.api.order.enums;
+
+public enum TransitionOutcome {
+
+    UPDATED,
+    UNCHANGED,
+    STATUS_MISMATCH,
+    NOT_FOUND,
+    FAILED;
+}
@@ -0,0 +1,30 @@
+package com.api.order.id;
+
+import org.hibernate.cfg.ManagedBeanSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class IdGeneratorConfig {
+
+    /**
+     * {@code order.id.worker-id} must be unique per running instance (0-1023). There is no default:
+     * two instances sharing a worker id can issue the same id in the same millisecond.
+     */
+    @Bean
+    public SnowflakeIdGenerator snowflakeIdGenerator(@Value("${order.id.worker-id:#{null}}") Long workerId) {
+        if (workerId == null) {
+            throw new IllegalStateException("order.id.worker-id is not set; give every running instance its own "
+                    + "worker id (0-" + SnowflakeIdGenerator.MAX_WORKER_ID + "), e.g. ORDER_ID_WORKER_ID from the pod index");
+        }
+        return new SnowflakeIdGenerator(workerId);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer snowflakeHibernatePropertiesCustomizer() {
+        // Lets Hibernate build SnowflakeIdentifierGenerator through Spring, with the shared generator injected
+        return properties -> properties.put(ManagedBeanSettings.ALLOW_EXTENSIONS_IN_CDI, true);
+    }
+}
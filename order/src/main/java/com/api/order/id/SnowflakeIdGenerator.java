@@ -0,0 +1,79 @@
+package com.api.order.id;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.LongSupplier;
+
+/**
+ * Time-ordered 64-bit ids without a database round-trip.
+ * <p>
+ * Layout: 41 bits of milliseconds since {@link #EPOCH}, 10 bits of worker id, 12 bits of sequence.
+ * The last issued (timestamp, sequence) pair lives in one {@link AtomicLong}, so concurrent callers
+ * only ever retry a CAS. An id never carries a timestamp ahead of the clock: that state would be lost
+ * on restart and the restarted instance could issue the same ids again. When the sequence of a
+ * millisecond is exhausted, or the clock steps back by at most {@link #MAX_CLOCK_WAIT_MS}, callers
+ * wait for the clock to catch up; a larger step back fails until it has.
+ */
+public class SnowflakeIdGenerator {
+
+    /** 2025-01-01T00:00:00Z */
+    public static final long EPOCH = 1735689600000L;
+
+    static final int WORKER_BITS = 10;
+    static final int SEQUENCE_BITS = 12;
+    static final long MAX_WORKER_ID = (1L << WORKER_BITS) - 1;
+    static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+    static final long MAX_CLOCK_WAIT_MS = 10;
+
+    private final long workerId;
+    private final LongSupplier clock;
+    private final AtomicLong lastTimestampAndSequence = new AtomicLong();
+
+    public SnowflakeIdGenerator(long workerId) {
+        this(workerId, System::currentTimeMillis);
+    }
+
+    SnowflakeIdGenerator(long workerId, LongSupplier clock) {
+        if (workerId < 0 || workerId > MAX_WORKER_ID) {
+            throw new IllegalArgumentException("Worker id must be between 0 and " + MAX_WORKER_ID + ": " + workerId);
+        }
+        this.workerId = workerId;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        while (true) {
+            long last = lastTimestampAndSequence.get();
+            long now = clock.getAsLong() - EPOCH;
+            long next = Math.max(now << SEQUENCE_BITS, last + 1);
+            long timestamp = next >>> SEQUENCE_BITS;
+
+            long ahead = timestamp - now;
+            if (ahead > MAX_CLOCK_WAIT_MS) {
+                throw new IllegalStateException("Clock moved backwards by " + ahead + " ms, refusing to generate ids");
+            }
+            if (ahead > 0) {
+                if (ahead > 1) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(ahead - 1));
+                } else {
+                    Thread.onSpinWait();
+                }
+                continue;
+            }
+
+            if (lastTimestampAndSequence.compareAndSet(last, next)) {
+                long sequence = next & SEQUENCE_MASK;
+                return (timestamp << (WORKER_BITS + SEQUENCE_BITS)) | (workerId << SEQUENCE_BITS) | sequence;
+            }
+        }
+    }
+
+    public static long timestampOf(long id) {
+        return (id >>> (WORKER_BITS + SEQUENCE_BITS)) + EPOCH;
+    }
+
+    public static long workerIdOf(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_WORKER_ID;
+    }
+}
@@ -3,6 +3,7 @@ import com.api.order.entity.Orders;
 import com.api.order.enums.OrderStatus;
 import com.api.order.repository.OrderRepository;
 import com.api.order.service.OrderServiceDetailService;
+import com.api.order.sharding.ShardRouter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.annotation.KafkaListener;
@@ -16,20 +17,23 @@ public class OrderConsumer {
 
     private final OrderRepository ordersRepository;
     private final OrderServiceDetailService orderServiceDetailService;
+    private final ShardRouter shardRouter;
 
     @KafkaListener(topics = "order-events", groupId = "order-service-group")
     public void consumeOrder(Long orderId) {
         log.info("Received order event for orderId: {}", orderId);
 
-        ordersRepository.findById(orderId).ifPresent(order -> {
+        shardRouter.executeForOrder(orderId, () -> ordersRepository.findById(orderId)).ifPresent(order -> {
             try {
                 Thread.sleep(2000);
                 order.setStatus(OrderStatus.PROCESSING);
                 order.setUpdatedAt(new Timestamp(System.currentTimeMillis()));
                 order.setNotes("Order is being processed");
-                Orders fromDB = ordersRepository.save(order);
+                shardRouter.executeForOrderWithoutResult(orderId, () -> {
+                    Orders fromDB = ordersRepository.save(order);
 
-                orderServiceDetailService.saveOrderStatusLogs(fromDB, OrderStatus.PROCESSING, "System", "Order is being processed");
+                    orderServiceDetailService.saveOrderStatusLogs(fromDB, OrderStatus.PROCESSING, "System", "Order is being processed");
+                });
 
                 log.info("Order {} status updated to PROCESSING", orderId);
             } catch (InterruptedException e) {
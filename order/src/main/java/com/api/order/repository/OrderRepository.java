@@ -1,9 +1,65 @@
 package com.api.order.repository;
 
+import com.api.order.dto.req.OrderSearchCursor;
+import com.api.order.dto.req.OrderSearchRequest;
 import com.api.order.entity.Orders;
+import com.api.order.enums.OrderStatus;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.sql.Timestamp;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
 @Repository
-public interface OrderRepository extends JpaRepository<Orders, Long> {
+public interface OrderRepository extends JpaRepository<Orders, Long>, JpaSpecificationExecutor<Orders> {
+
+    @Query("select o from Orders o left join fetch o.items where o.id = :id")
+    Optional<Orders> findWithItemsById(@Param("id") Long id);
+
+    @Query("select o from Orders o left join fetch o.items where o.id in :ids")
+    List<Orders> findAllWithItemsByIdIn(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Ids only, for merging pages across shards before any order is loaded.
+     */
+    @Query("select o.id from Orders o")
+    List<Long> findIds(Pageable pageable);
+
+    /**
+     * Current status of each order, row-locked until the transaction ends so a following
+     * {@link #transitionStatus} sees the same state.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select o.id as id, o.status as status from Orders o where o.id in :ids")
+    List<OrderStatusView> lockStatuses(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query("update Orders o set o.status = :newStatus, o.updatedAt = :updatedAt "
+            + "where o.id in :ids and o.status = :expectedStatus")
+    int transitionStatus(@Param("ids") Collection<Long> ids,
+                         @Param("expectedStatus") OrderStatus expectedStatus,
+                         @Param("newStatus") OrderStatus newStatus,
+                         @Param("updatedAt") Timestamp updatedAt);
+
+    /**
+     * Keyset page of orders matching the request that sort after {@code after} (null for the first
+     * page), newest {@code orderTime} first with the id as tie-breaker. Callers pass one more than
+     * the page size as {@code limit} to learn whether another page follows.
+     */
+    default List<Orders> search(OrderSearchRequest request, OrderSearchCursor after, int limit) {
+        return findBy(OrderSpecifications.matching(request, after), query -> query
+                .sortBy(Sort.by(Sort.Direction.DESC, "orderTime", "id"))
+                .limit(limit)
+                .all());
+    }
 }
@@ -2,8 +2,15 @@ package com.api.order.repository;
 
 import com.api.order.entity.OrderStatusDetails;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.List;
+
 @Repository
 public interface OrderServiceDetailRepository extends JpaRepository<OrderStatusDetails, Long> {
+
+    @Query("select d from OrderStatusDetails d where d.order.id = :orderId order by d.updatedAt, d.id")
+    List<OrderStatusDetails> findHistoryByOrderId(@Param("orderId") Long orderId);
 }
@@ -0,0 +1,65 @@
+package com.api.order.repository;
+
+import com.api.order.dto.req.OrderSearchCursor;
+import com.api.order.dto.req.OrderSearchRequest;
+import com.api.order.entity.Orders;
+import jakarta.persistence.criteria.Predicate;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Predicates for the order search. Each filter maps onto a leading column of one of the
+ * {@code idx_orders_*} indexes declared on {@link Orders}; those that end in {@code order_time}
+ * (and, implicitly, the primary key) also return rows in the search order.
+ */
+public final class OrderSpecifications {
+
+    private OrderSpecifications() {
+    }
+
+    public static Specification<Orders> matching(OrderSearchRequest request, OrderSearchCursor after) {
+        return (root, query, cb) -> {
+            List<Predicate> predicates = new ArrayList<>();
+
+            if (request.status() != null) {
+                predicates.add(cb.equal(root.get("status"), request.status()));
+            }
+            if (request.customerName() != null) {
+                predicates.add(cb.equal(root.get("customerName"), request.customerName()));
+            }
+            if (request.customerNamePrefix() != null) {
+                // The lower bound gives the planner an index range even when LIKE is bound as a parameter
+                predicates.add(cb.greaterThanOrEqualTo(root.get("customerName"), request.customerNamePrefix()));
+                predicates.add(cb.like(root.get("customerName"), escapeLike(request.customerNamePrefix()) + "%", '\\'));
+            }
+            if (request.orderTimeFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("orderTime"), request.orderTimeFrom()));
+            }
+            if (request.orderTimeTo() != null) {
+                predicates.add(cb.lessThan(root.get("orderTime"), request.orderTimeTo()));
+            }
+            if (request.createdFrom() != null) {
+                predicates.add(cb.greaterThanOrEqualTo(root.get("createdAt"), Timestamp.from(request.createdFrom().toInstant())));
+            }
+            if (request.createdTo() != null) {
+                predicates.add(cb.lessThan(root.get("createdAt"), Timestamp.from(request.createdTo().toInstant())));
+            }
+            if (after != null) {
+                // (orderTime, id) < (cursor time, cursor id), written so the orderTime bound is an index range
+                predicates.add(cb.lessThanOrEqualTo(root.get("orderTime"), after.orderTime()));
+                predicates.add(cb.or(
+                        cb.lessThan(root.get("orderTime"), after.orderTime()),
+                        cb.lessThan(root.get("id"), after.id())));
+            }
+
+            return cb.and(predicates.toArray(new Predicate[0]));
+        };
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+}
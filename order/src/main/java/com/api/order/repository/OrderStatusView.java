@@ -0,0 +1,10 @@
+package com.api.order.repository;
+
+import com.api.order.enums.OrderStatus;
+
+public interface OrderStatusView {
+
+    Long getId();
+
+    OrderStatus getStatus();
+}
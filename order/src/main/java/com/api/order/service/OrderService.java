@@ -1,7 +1,12 @@
 package com.api.order.service;
 
+import com.api.order.dto.req.BulkStatusUpdateRequest;
 import com.api.order.dto.req.OrderRequest;
+import com.api.order.dto.req.OrderSearchRequest;
+import com.api.order.dto.res.BulkStatusUpdateResponse;
+import com.api.order.dto.res.OrderDetailResponse;
 import com.api.order.dto.res.OrderResponse;
+import com.api.order.dto.res.OrderSearchResponse;
 import com.api.order.entity.Orders;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -13,6 +18,9 @@ import java.util.Map;
 public interface OrderService {
     public OrderResponse placeOrder(OrderRequest request);
     public Orders getOrderById(Long id);
+    OrderDetailResponse getOrderDetails(Long id, boolean includeHistory);
     Page<OrderResponse> getAllOrders(Pageable pageable);
+    OrderSearchResponse searchOrders(OrderSearchRequest request);
     void updateOrder(Map<String,String> param);
+    BulkStatusUpdateResponse updateOrderStatuses(BulkStatusUpdateRequest request);
 }
@@ -1,12 +1,20 @@
 package com.api.order.service;
+import com.api.order.dto.res.OrderStatusResponse;
+import com.api.order.entity.OrderStatusDetails;
 import com.api.order.entity.Orders;
 import com.api.order.enums.OrderStatus;
 import org.springframework.stereotype.Service;
 
+import java.util.List;
+
 
 @Service
 public interface OrderServiceDetailService {
 
      void saveOrderStatusLogs(Orders order, OrderStatus status, String updatedBy, String notes);
 
+     void saveOrderStatusLogs(List<OrderStatusDetails> details);
+
+     List<OrderStatusResponse> getStatusHistory(Long orderId);
+
 }
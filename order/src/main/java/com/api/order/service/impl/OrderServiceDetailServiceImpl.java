@@ -1,5 +1,6 @@
 package com.api.order.service.impl;
 
+import com.api.order.dto.res.OrderStatusResponse;
 import com.api.order.entity.OrderStatusDetails;
 import com.api.order.entity.Orders;
 import com.api.order.enums.OrderStatus;
@@ -10,6 +11,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 
 import java.sql.Timestamp;
+import java.util.List;
 
 @RequiredArgsConstructor
 @Slf4j
@@ -28,4 +30,22 @@ public class OrderServiceDetailServiceImpl implements OrderServiceDetailService
         orderStatusDetailsRepository.save(details);
         log.info("Order status log saved: OrderId={}, Status={}", order.getId(), status);
     }
+
+    public void saveOrderStatusLogs(List<OrderStatusDetails> details) {
+        // Inserted as one JDBC batch at flush (hibernate.jdbc.batch_size)
+        orderStatusDetailsRepository.saveAll(details);
+        log.info("{} order status logs saved", details.size());
+    }
+
+    public List<OrderStatusResponse> getStatusHistory(Long orderId) {
+        return orderStatusDetailsRepository.findHistoryByOrderId(orderId).stream()
+                .map(d -> new OrderStatusResponse(
+                        d.getId(),
+                        d.getStatus().toString(),
+                        d.getUpdatedBy(),
+                        d.getUpdatedAt(),
+                        d.getNotes()
+                ))
+                .toList();
+    }
 }
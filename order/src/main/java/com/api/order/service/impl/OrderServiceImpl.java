@@ -1,29 +1,52 @@
 package com.api.order.service.impl;
 
+import com.api.order.dto.req.BulkStatusUpdateRequest;
 import com.api.order.dto.req.OrderRequest;
+import com.api.order.dto.req.OrderSearchCursor;
+import com.api.order.dto.req.OrderSearchRequest;
+import com.api.order.dto.req.StatusTransitionRequest;
+import com.api.order.dto.res.BulkStatusUpdateResponse;
+import com.api.order.dto.res.OrderDetailResponse;
 import com.api.order.dto.res.OrderResponse;
+import com.api.order.dto.res.OrderSearchResponse;
+import com.api.order.dto.res.OrderStatusResponse;
 import com.api.order.dto.res.ProductResponse;
+import com.api.order.dto.res.StatusTransitionResponse;
+import com.api.order.entity.OrderStatusDetails;
 import com.api.order.entity.Orders;
 import com.api.order.entity.Product;
 import com.api.order.enums.OrderStatus;
+import com.api.order.enums.TransitionOutcome;
 import com.api.order.exceptions.ApiException;
+import com.api.order.id.SnowflakeIdGenerator;
 import com.api.order.mq.OrderProducer;
 import com.api.order.repository.OrderRepository;
+import com.api.order.repository.OrderStatusView;
 import com.api.order.repository.ProductRepository;
 import com.api.order.service.OrderService;
 import com.api.order.service.OrderServiceDetailService;
-import jakarta.transaction.Transactional;
+import com.api.order.sharding.ShardRouter;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Component;
 
 import java.math.BigDecimal;
 import java.sql.Timestamp;
 import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
 
 @RequiredArgsConstructor
@@ -31,13 +54,21 @@ import java.util.stream.Collectors;
 @Component(value = "orderService")
 public class OrderServiceImpl implements OrderService {
 
+    private static final int DEFAULT_SEARCH_SIZE = 10;
+    // Rows every shard reads to serve one page of the listing
+    private static final int MAX_LISTING_WINDOW = 10_000;
+    private static final Comparator<OrderResponse> SEARCH_ORDER = Comparator
+            .comparing(OrderResponse::orderTime, OffsetDateTime.timeLineOrder())
+            .thenComparing(OrderResponse::id)
+            .reversed();
 
     private final OrderRepository ordersRepository;
     private final ProductRepository productRepository;
     private final OrderProducer orderProducer;
     private final OrderServiceDetailService orderServiceDetailService;
+    private final ShardRouter shardRouter;
+    private final SnowflakeIdGenerator idGenerator;
 
-    @Transactional
     public OrderResponse placeOrder(OrderRequest request) {
         try {
             log.info("Placing new order for customer: {}", request.customerName());
@@ -51,36 +82,40 @@ public class OrderServiceImpl implements OrderService {
                 throw new ApiException("Total amount must be greater than zero", "INVALID_AMOUNT");
             }
 
-            // Create Order
+            // Create Order; the id is drawn up front because it decides the shard
             Orders order = new Orders();
+            order.setId(idGenerator.nextId());
             order.setCustomerName(request.customerName());
             order.setTotalAmount(request.totalAmount());
             order.setOrderTime(request.orderTime());
             order.setStatus(OrderStatus.CREATED);
 
-            Orders savedOrder = ordersRepository.save(order);
-
-            // Map products
-            List<Product> products = request.items().stream()
-                    .map(p -> {
-                        Product product = new Product();
-                        product.setName(p.name());
-                        product.setQuantity(p.quantity());
-                        product.setPrice(p.price());
-                        product.setOrders(savedOrder);
-                        return product;
-                    })
-                    .collect(Collectors.toList());
-
-            productRepository.saveAll(products);
-            savedOrder.setItems(products);
-
-            log.info("Order {} placed successfully with {} items", savedOrder.getId(), products.size());
-
-            orderServiceDetailService.saveOrderStatusLogs(savedOrder,OrderStatus.CREATED,"User","Order created");
-            // Push order to Kafka queue for async processing
-            orderProducer.sendOrder(savedOrder.getId());
-            log.info("Order {} added to processing queue", savedOrder.getId());
+            Orders savedOrder = shardRouter.executeForOrder(order.getId(), () -> {
+                Orders saved = ordersRepository.save(order);
+
+                // Map products
+                List<Product> products = request.items().stream()
+                        .map(p -> {
+                            Product product = new Product();
+                            product.setName(p.name());
+                            product.setQuantity(p.quantity());
+                            product.setPrice(p.price());
+                            product.setOrders(saved);
+                            return product;
+                        })
+                        .collect(Collectors.toList());
+
+                productRepository.saveAll(products);
+                saved.setItems(products);
+
+                log.info("Order {} placed successfully with {} items", saved.getId(), products.size());
+
+                orderServiceDetailService.saveOrderStatusLogs(saved,OrderStatus.CREATED,"User","Order created");
+                // Push order to Kafka queue for async processing
+                orderProducer.sendOrder(saved.getId());
+                log.info("Order {} added to processing queue", saved.getId());
+                return saved;
+            });
 
             return mapToOrderResponse(savedOrder);
 
@@ -94,15 +129,85 @@ public class OrderServiceImpl implements OrderService {
         }
     }
 
+    /**
+     * Scatter-gather over all shards: each shard returns the ids of its first {@code offset + size}
+     * orders, the merged ids are cut to the requested page, and only those orders are loaded.
+     */
     public Page<OrderResponse> getAllOrders(Pageable pageable) {
-        return ordersRepository.findAll(pageable)
-                .map(this::mapToOrderResponse);
+        long window = pageable.getOffset() + pageable.getPageSize();
+        if (window > MAX_LISTING_WINDOW) {
+            throw new ApiException("Page is too deep; use /api/orders/search to page further", "PAGE_TOO_DEEP");
+        }
+        Pageable firstIds = PageRequest.of(0, (int) window, Sort.by("id"));
+
+        List<ShardIds> shardIds = shardRouter.executeOnAllShards(() ->
+                new ShardIds(ordersRepository.findIds(firstIds), ordersRepository.count()));
+
+        long total = shardIds.stream().mapToLong(ShardIds::total).sum();
+        List<Long> pageIds = shardIds.stream()
+                .flatMap(shard -> shard.ids().stream())
+                .sorted()
+                .skip(pageable.getOffset())
+                .limit(pageable.getPageSize())
+                .toList();
+        if (pageIds.isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, total);
+        }
+
+        // Each shard finds only the ids it owns
+        Map<Long, OrderResponse> orders = new HashMap<>();
+        shardRouter.executeOnAllShards(() -> ordersRepository.findAllWithItemsByIdIn(pageIds).stream()
+                        .map(this::mapToOrderResponse)
+                        .toList())
+                .forEach(shardOrders -> shardOrders.forEach(order -> orders.put(order.id(), order)));
+
+        List<OrderResponse> content = pageIds.stream()
+                .map(orders::get)
+                .filter(Objects::nonNull)
+                .toList();
+
+        return new PageImpl<>(content, pageable, total);
+    }
+
+    public OrderSearchResponse searchOrders(OrderSearchRequest request) {
+        if (!request.hasFilter()) {
+            throw new ApiException("At least one search filter must be provided", "NO_SEARCH_FILTERS");
+        }
+        if (request.customerName() != null && request.customerNamePrefix() != null) {
+            throw new ApiException("Use either customerName or customerNamePrefix, not both", "INVALID_SEARCH_FILTERS");
+        }
+
+        int size = request.size() != null ? request.size() : DEFAULT_SEARCH_SIZE;
+        OrderSearchCursor after = request.cursor() != null ? OrderSearchCursor.parse(request.cursor()) : null;
+        // Every shard returns its own newest size + 1 matches; the newest size + 1 overall are among them
+        List<OrderResponse> orders = shardRouter.executeOnAllShards(() ->
+                        ordersRepository.search(request, after, size + 1).stream()
+                                .map(this::mapToOrderResponse)
+                                .toList())
+                .stream()
+                .flatMap(List::stream)
+                .sorted(SEARCH_ORDER)
+                .limit(size + 1)
+                .toList();
+
+        boolean hasNext = orders.size() > size;
+        List<OrderResponse> page = hasNext ? orders.subList(0, size) : orders;
+        String nextCursor = null;
+        if (hasNext) {
+            OrderResponse last = page.get(page.size() - 1);
+            nextCursor = new OrderSearchCursor(last.orderTime(), last.id()).toString();
+        }
+
+        log.info("Order search returned {} orders, hasNext={}", page.size(), hasNext);
+
+        return new OrderSearchResponse(page, nextCursor, hasNext);
     }
+
     public Orders getOrderById(Long id) {
         try {
             log.info("Fetching order with id: {}", id);
 
-            Orders order = ordersRepository.findById(id)
+            Orders order = shardRouter.executeForOrder(id, () -> ordersRepository.findById(id))
                     .orElseThrow(() -> new ApiException("Order not found with id: " + id, "ORDER_NOT_FOUND"));
 
             log.info("Order {} retrieved successfully", id);
@@ -119,33 +224,74 @@ public class OrderServiceImpl implements OrderService {
         }
     }
 
+    public OrderDetailResponse getOrderDetails(Long id, boolean includeHistory) {
+        try {
+            log.info("Fetching order details with id: {}", id);
+
+            OrderDetailResponse details = shardRouter.executeForOrder(id, () -> {
+                Orders order = ordersRepository.findWithItemsById(id)
+                        .orElseThrow(() -> new ApiException("Order not found with id: " + id, "ORDER_NOT_FOUND"));
+
+                List<OrderStatusResponse> history = includeHistory
+                        ? orderServiceDetailService.getStatusHistory(id)
+                        : null;
+
+                return new OrderDetailResponse(
+                        order.getId(),
+                        order.getCustomerName(),
+                        mapToProductResponses(order.getItems()),
+                        order.getTotalAmount(),
+                        order.getOrderTime(),
+                        order.getStatus().toString(),
+                        order.getCreatedAt(),
+                        order.getUpdatedAt(),
+                        order.getNotes(),
+                        history
+                );
+            });
+
+            log.info("Order {} details retrieved successfully", id);
+
+            return details;
 
-    private OrderResponse mapToOrderResponse(Orders order) {
-        List<ProductResponse> products = order.getItems().stream()
-                .map(p -> new ProductResponse(
-                        p.getId(),
-                        p.getName(),
-                        p.getQuantity(),
-                        p.getPrice()
-                ))
-                .toList();
+        } catch (ApiException ex) {
+            log.warn("Workflow error while fetching order details {}: {}", id, ex.getMessage());
+            throw ex;
 
+        } catch (Exception ex) {
+            log.error("Unexpected error while fetching order details {}", id, ex);
+            throw new ApiException("Failed to fetch order. Please try again later.", "ORDER_FETCH_FAILED");
+        }
+    }
+
+
+    private OrderResponse mapToOrderResponse(Orders order) {
         return new OrderResponse(
                 order.getId(),
                 order.getCustomerName(),
-                products,
+                mapToProductResponses(order.getItems()),
                 order.getTotalAmount(),
                 order.getOrderTime(),
                 order.getStatus().toString()
         );
     }
 
+    private List<ProductResponse> mapToProductResponses(List<Product> items) {
+        return items.stream()
+                .map(p -> new ProductResponse(
+                        p.getId(),
+                        p.getName(),
+                        p.getQuantity(),
+                        p.getPrice()
+                ))
+                .toList();
+    }
+
 
     public Orders findByIdEntity(Long id) {
-        return ordersRepository.findById(id).orElse(null);
+        return shardRouter.executeForOrder(id, () -> ordersRepository.findById(id)).orElse(null);
     }
 
-    @Transactional
     public void updateOrder(Map<String, String> params) {
 
         Long id;
@@ -159,6 +305,10 @@ public class OrderServiceImpl implements OrderService {
             throw new ApiException("No update fields provided other than ID", "NO_UPDATE_FIELDS");
         }
 
+        shardRouter.executeForOrderWithoutResult(id, () -> applyUpdate(id, params));
+    }
+
+    private void applyUpdate(Long id, Map<String, String> params) {
         Orders existingOrder = getOrderById(id);
 
         boolean updated = false;
@@ -208,4 +358,114 @@ public class OrderServiceImpl implements OrderService {
     }
 
 
+    /**
+     * Applies each {@code expectedStatus -> newStatus} transition whose order is still in the expected
+     * status. Per shard this is one locking read, one UPDATE per distinct transition and one batched
+     * insert of status logs, whatever the number of orders.
+     * <p>
+     * Every shard commits on its own. When one fails, its orders are reported as {@code FAILED} and
+     * the other shards keep their changes.
+     */
+    public BulkStatusUpdateResponse updateOrderStatuses(BulkStatusUpdateRequest request) {
+        List<StatusTransitionRequest> transitions = request.transitions();
+
+        Set<Long> orderIds = new HashSet<>();
+        for (StatusTransitionRequest transition : transitions) {
+            if (!orderIds.add(transition.orderId())) {
+                throw new ApiException("Duplicate order id in request: " + transition.orderId(), "DUPLICATE_ORDER_ID");
+            }
+        }
+
+        String updatedBy = request.updatedBy() != null ? request.updatedBy() : "User";
+
+        Map<Integer, List<StatusTransitionRequest>> transitionsByShard = transitions.stream()
+                .collect(Collectors.groupingBy(t -> shardRouter.shardFor(t.orderId())));
+
+        Map<Long, StatusTransitionResponse> outcomes = new HashMap<>();
+        transitionsByShard.forEach((shard, shardTransitions) -> {
+            try {
+                outcomes.putAll(shardRouter.executeOnShard(shard, () -> applyTransitions(shardTransitions, updatedBy)));
+            } catch (Exception ex) {
+                // The shard's transaction rolled back; shards already done keep their changes
+                log.error("Bulk status update failed on shard {} for {} orders", shard, shardTransitions.size(), ex);
+                shardTransitions.forEach(t -> outcomes.put(t.orderId(),
+                        new StatusTransitionResponse(t.orderId(), TransitionOutcome.FAILED, null)));
+            }
+        });
+
+        List<StatusTransitionResponse> results = transitions.stream()
+                .map(t -> outcomes.get(t.orderId()))
+                .toList();
+        int updated = (int) results.stream()
+                .filter(r -> r.outcome() == TransitionOutcome.UPDATED)
+                .count();
+        int failed = (int) results.stream()
+                .filter(r -> r.outcome() == TransitionOutcome.FAILED)
+                .count();
+
+        log.info("Bulk status update: {} of {} orders updated, {} failed", updated, transitions.size(), failed);
+
+        return new BulkStatusUpdateResponse(updated, failed, results);
+    }
+
+    private Map<Long, StatusTransitionResponse> applyTransitions(List<StatusTransitionRequest> transitions, String updatedBy) {
+        List<Long> ids = transitions.stream().map(StatusTransitionRequest::orderId).toList();
+
+        Map<Long, OrderStatus> currentStatuses = new HashMap<>();
+        for (OrderStatusView view : ordersRepository.lockStatuses(ids)) {
+            currentStatuses.put(view.getId(), view.getStatus());
+        }
+
+        Timestamp now = Timestamp.from(Instant.now());
+        Map<Long, StatusTransitionResponse> outcomes = new HashMap<>();
+        Map<StatusChange, List<Long>> idsByChange = new HashMap<>();
+        List<OrderStatusDetails> statusLogs = new ArrayList<>();
+
+        for (StatusTransitionRequest transition : transitions) {
+            Long id = transition.orderId();
+            if (!currentStatuses.containsKey(id)) {
+                outcomes.put(id, new StatusTransitionResponse(id, TransitionOutcome.NOT_FOUND, null));
+                continue;
+            }
+
+            OrderStatus current = currentStatuses.get(id);
+            if (current != transition.expectedStatus()) {
+                outcomes.put(id, new StatusTransitionResponse(id, TransitionOutcome.STATUS_MISMATCH,
+                        current == null ? null : current.toString()));
+                continue;
+            }
+
+            if (transition.newStatus() == current) {
+                // Nothing to write and nothing to log
+                outcomes.put(id, new StatusTransitionResponse(id, TransitionOutcome.UNCHANGED, current.toString()));
+                continue;
+            }
+
+            outcomes.put(id, new StatusTransitionResponse(id, TransitionOutcome.UPDATED, transition.newStatus().toString()));
+            idsByChange.computeIfAbsent(new StatusChange(current, transition.newStatus()), k -> new ArrayList<>()).add(id);
+            statusLogs.add(OrderStatusDetails.builder()
+                    .order(ordersRepository.getReferenceById(id))
+                    .status(transition.newStatus())
+                    .updatedBy(updatedBy)
+                    .notes("Order status updated via bulk API")
+                    .updatedAt(now)
+                    .build());
+        }
+
+        idsByChange.forEach((change, changeIds) ->
+                ordersRepository.transitionStatus(changeIds, change.from(), change.to(), now));
+
+        if (!statusLogs.isEmpty()) {
+            orderServiceDetailService.saveOrderStatusLogs(statusLogs);
+        }
+
+        return outcomes;
+    }
+
+    private record StatusChange(OrderStatus from, OrderStatus to) {
+    }
+
+    private record ShardIds(List<Long> ids, long total) {
+    }
+
 }
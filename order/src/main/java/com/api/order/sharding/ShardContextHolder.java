@@ -0,0 +1,25 @@
+package com.api.order.sharding;
+
+/**
+ * Shard bound to the current thread, read by {@link ShardRoutingDataSource} when a connection is
+ * opened. Bind it through {@link ShardRouter} rather than directly.
+ */
+final class ShardContextHolder {
+
+    private static final ThreadLocal<Integer> CURRENT_SHARD = new ThreadLocal<>();
+
+    private ShardContextHolder() {
+    }
+
+    static Integer get() {
+        return CURRENT_SHARD.get();
+    }
+
+    static void set(Integer shard) {
+        if (shard == null) {
+            CURRENT_SHARD.remove();
+        } else {
+            CURRENT_SHARD.set(shard);
+        }
+    }
+}
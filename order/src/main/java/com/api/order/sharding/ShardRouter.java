@@ -0,0 +1,143 @@
+package com.api.order.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Runs repository work on the shard that owns an order, or on every shard at once.
+ * <p>
+ * The shard has to be bound before a transaction opens its connection, so callers must not already
+ * be inside a {@code @Transactional} method; each call runs the work in its own transaction on the
+ * shard (joining it when nested on the same shard). Any other call inside a transaction fails.
+ */
+@Slf4j
+@Component
+public class ShardRouter {
+
+    // Hikari's default maximumPoolSize, for shards whose pool size cannot be read
+    private static final int DEFAULT_SHARD_CONNECTIONS = 10;
+
+    private final int shardCount;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService scatterExecutor;
+
+    public ShardRouter(ShardRoutingDataSource dataSource, PlatformTransactionManager transactionManager) {
+        this.shardCount = dataSource.getShardCount();
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+
+        // Shard 0 runs on the caller; a scatter thread holds a connection of shard 1..N-1 for its whole
+        // task, so threads beyond the size of those pools could only wait for a connection
+        int scatterThreads = 0;
+        for (int shard = 1; shard < shardCount; shard++) {
+            scatterThreads += maxConnections(dataSource.getShard(shard));
+        }
+        CustomizableThreadFactory threadFactory = new CustomizableThreadFactory("shard-scatter-");
+        threadFactory.setDaemon(true);
+        this.scatterExecutor = Executors.newFixedThreadPool(Math.max(1, scatterThreads), threadFactory);
+
+        log.info("Order storage sharded across {} datasource(s), {} scatter thread(s)", shardCount, scatterThreads);
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public int shardFor(long orderId) {
+        return Math.floorMod(mix(orderId), shardCount);
+    }
+
+    public <T> T executeForOrder(long orderId, Supplier<T> work) {
+        return executeOnShard(shardFor(orderId), work);
+    }
+
+    public void executeForOrderWithoutResult(long orderId, Runnable work) {
+        executeForOrder(orderId, () -> {
+            work.run();
+            return null;
+        });
+    }
+
+    public <T> T executeOnShard(int shard, Supplier<T> work) {
+        Integer previous = ShardContextHolder.get();
+        // A transaction opened without a bound shard already holds a shard 0 connection
+        if (TransactionSynchronizationManager.isActualTransactionActive() && !Integer.valueOf(shard).equals(previous)) {
+            throw new IllegalStateException(previous == null
+                    ? "Cannot route to shard " + shard + " inside a transaction not opened through ShardRouter"
+                    : "Cannot switch to shard " + shard + " inside a transaction on shard " + previous);
+        }
+        ShardContextHolder.set(shard);
+        try {
+            return transactionTemplate.execute(status -> work.get());
+        } finally {
+            ShardContextHolder.set(previous);
+        }
+    }
+
+    /**
+     * Scatter-gather: runs {@code work} on every shard in parallel and returns the results in shard order.
+     * Shard 0 runs on the calling thread, the others on the scatter pool.
+     */
+    public <T> List<T> executeOnAllShards(Supplier<T> work) {
+        List<CompletableFuture<T>> futures = new ArrayList<>(shardCount - 1);
+        for (int shard = 1; shard < shardCount; shard++) {
+            int target = shard;
+            futures.add(CompletableFuture.supplyAsync(() -> executeOnShard(target, work), scatterExecutor));
+        }
+
+        List<T> results = new ArrayList<>(shardCount);
+        results.add(executeOnShard(0, work));
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+            return results;
+        } catch (CompletionException ex) {
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw ex;
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        scatterExecutor.shutdown();
+    }
+
+    private static int maxConnections(DataSource shard) {
+        try {
+            if (shard.isWrapperFor(HikariDataSource.class)) {
+                return shard.unwrap(HikariDataSource.class).getMaximumPoolSize();
+            }
+        } catch (SQLException ex) {
+            log.warn("Could not read the pool size of a shard datasource", ex);
+        }
+        return DEFAULT_SHARD_CONNECTIONS;
+    }
+
+    // Snowflake ids carry the sequence in their low bits, so spread them before taking the modulus
+    private static long mix(long id) {
+        id ^= id >>> 33;
+        id *= 0xff51afd7ed558ccdL;
+        id ^= id >>> 33;
+        id *= 0xc4ceb9fe1a85ec53L;
+        id ^= id >>> 33;
+        return id;
+    }
+}
@@ -0,0 +1,45 @@
+package com.api.order.sharding;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+
+import javax.sql.DataSource;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Picks the shard's pool from {@link ShardContextHolder}. Without a bound shard it falls back to
+ * shard 0, which Hibernate relies on at startup. Order access must go through {@link ShardRouter},
+ * which refuses to route inside a transaction that was opened on this fallback.
+ */
+public class ShardRoutingDataSource extends AbstractRoutingDataSource {
+
+    private final int shardCount;
+
+    public ShardRoutingDataSource(List<DataSource> shards) {
+        if (shards.isEmpty()) {
+            throw new IllegalArgumentException("At least one shard datasource is required");
+        }
+        Map<Object, Object> targets = new HashMap<>();
+        for (int i = 0; i < shards.size(); i++) {
+            targets.put(i, shards.get(i));
+        }
+        this.shardCount = shards.size();
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(shards.get(0));
+        setLenientFallback(false);
+    }
+
+    public int getShardCount() {
+        return shardCount;
+    }
+
+    public DataSource getShard(int shard) {
+        return getResolvedDataSources().get(shard);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return ShardContextHolder.get();
+    }
+}
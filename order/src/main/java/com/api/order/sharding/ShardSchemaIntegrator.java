@@ -0,0 +1,39 @@
+package com.api.order.sharding;
+
+import org.hibernate.boot.Metadata;
+import org.hibernate.boot.spi.BootstrapContext;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.service.spi.SessionFactoryServiceRegistry;
+import org.hibernate.integrator.spi.Integrator;
+import org.hibernate.tool.schema.spi.SchemaManagementToolCoordinator;
+
+/**
+ * Applies {@code spring.jpa.hibernate.ddl-auto} to every shard but the first. Hibernate's own pass
+ * runs unrouted and so lands on shard 0.
+ */
+class ShardSchemaIntegrator implements Integrator {
+
+    private final int shardCount;
+
+    ShardSchemaIntegrator(int shardCount) {
+        this.shardCount = shardCount;
+    }
+
+    @Override
+    public void integrate(Metadata metadata, BootstrapContext bootstrapContext, SessionFactoryImplementor sessionFactory) {
+        for (int shard = 1; shard < shardCount; shard++) {
+            ShardContextHolder.set(shard);
+            try {
+                // Drops on shutdown are left to the databases; nothing to register
+                SchemaManagementToolCoordinator.process(metadata, sessionFactory.getServiceRegistry(),
+                        sessionFactory.getProperties(), action -> { });
+            } finally {
+                ShardContextHolder.set(null);
+            }
+        }
+    }
+
+    @Override
+    public void disintegrate(SessionFactoryImplementor sessionFactory, SessionFactoryServiceRegistry serviceRegistry) {
+    }
+}
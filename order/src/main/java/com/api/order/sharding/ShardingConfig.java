@@ -0,0 +1,63 @@
+package com.api.order.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.hibernate.jpa.boot.spi.IntegratorProvider;
+import org.hibernate.jpa.boot.spi.JpaSettings;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@EnableConfigurationProperties(ShardingProperties.class)
+public class ShardingConfig {
+
+    /**
+     * Replaces Boot's auto-configured pool, so the {@code hikari.*} settings are bound here: from
+     * {@code spring.datasource.hikari} for the single default shard, from
+     * {@code order.sharding.datasources[n].hikari} for configured shards.
+     */
+    @Bean
+    public ShardRoutingDataSource dataSource(ShardingProperties shardingProperties, DataSourceProperties dataSourceProperties,
+                                             Environment environment) {
+        Binder binder = Binder.get(environment);
+
+        if (shardingProperties.datasources().isEmpty()) {
+            HikariDataSource dataSource = dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+            binder.bind("spring.datasource.hikari", Bindable.ofInstance(dataSource));
+            return new ShardRoutingDataSource(List.of(dataSource));
+        }
+
+        List<DataSource> shards = new ArrayList<>();
+        for (int i = 0; i < shardingProperties.datasources().size(); i++) {
+            ShardingProperties.Shard shard = shardingProperties.datasources().get(i);
+            HikariDataSource dataSource = DataSourceBuilder.create()
+                    .type(HikariDataSource.class)
+                    .url(shard.url())
+                    .username(shard.username())
+                    .password(shard.password())
+                    .driverClassName(shard.driverClassName())
+                    .build();
+            dataSource.setPoolName("shard-" + i);
+            binder.bind("order.sharding.datasources[" + i + "].hikari", Bindable.ofInstance(dataSource));
+            shards.add(dataSource);
+        }
+        return new ShardRoutingDataSource(shards);
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer shardingHibernatePropertiesCustomizer(ShardRoutingDataSource dataSource) {
+        ShardSchemaIntegrator schemaIntegrator = new ShardSchemaIntegrator(dataSource.getShardCount());
+        return properties -> properties.put(JpaSettings.INTEGRATOR_PROVIDER,
+                (IntegratorProvider) () -> List.of(schemaIntegrator));
+    }
+}
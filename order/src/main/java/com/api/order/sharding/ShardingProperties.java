@@ -0,0 +1,21 @@
+package com.api.order.sharding;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.util.List;
+
+/**
+ * {@code order.sharding.datasources[n].*}: one entry per shard, in shard order. Without entries the
+ * application runs on a single shard built from {@code spring.datasource.*}. Pool settings go under
+ * {@code order.sharding.datasources[n].hikari.*} and are bound by {@link ShardingConfig}.
+ */
+@ConfigurationProperties(prefix = "order.sharding")
+public record ShardingProperties(List<Shard> datasources) {
+
+    public ShardingProperties {
+        datasources = datasources == null ? List.of() : List.copyOf(datasources);
+    }
+
+    public record Shard(String url, String username, String password, String driverClassName) {
+    }
+}
@@ -3,7 +3,7 @@ package com.api.order;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "order.id.worker-id=0")
 class OrderApplicationTests {
 
 	@Test
@@ -0,0 +1,164 @@
+package com.api.order.controller;
+
+import com.api.order.dto.req.OrderRequest;
+import com.api.order.dto.req.ProductRequest;
+import com.api.order.mq.OrderProducer;
+import com.api.order.service.OrderService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.ResultActions;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.LongStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.hamcrest.Matchers.startsWith;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@code PATCH /api/orders/status} on a single H2 shard: the statements one request costs, counted
+ * with Hibernate statistics, and the request validation.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:bulk;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.kafka.listener.auto-startup=false",
+        "spring.kafka.admin.auto-create=false",
+        "order.id.worker-id=1"
+})
+@AutoConfigureMockMvc
+class BulkStatusUpdateControllerTest {
+
+    private static final int ORDERS = 25;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @MockitoBean
+    private OrderProducer orderProducer;
+
+    @Test
+    void bulkTransitionTakesOneLockingReadOneUpdateAndOneInsertBatch() throws Exception {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < ORDERS; i++) {
+            ids.add(placeOrder());
+        }
+        List<Map<String, Object>> transitions = ids.stream()
+                .map(id -> transition(id.toString(), "CREATED", "PROCESSING"))
+                .toList();
+
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+
+        send(Map.of("updatedBy", "Kitchen", "transitions", transitions))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(ORDERS))
+                .andExpect(jsonPath("$.failed").value(0))
+                .andExpect(jsonPath("$.results.length()").value(ORDERS))
+                .andExpect(jsonPath("$.results[0].orderId").value(ids.get(0).toString()))
+                .andExpect(jsonPath("$.results[0].outcome").value("UPDATED"));
+
+        // select ... for update, one set-based update, and every status log through one batched insert
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(3);
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(ORDERS);
+        assertThat(statistics.getEntityLoadCount()).isZero();
+    }
+
+    @Test
+    void duplicateOrderIdsAreRejected() throws Exception {
+        long id = placeOrder();
+
+        send(Map.of("transitions", List.of(
+                transition(id, "CREATED", "PROCESSING"),
+                transition(id, "CREATED", "COMPLETED"))))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("DUPLICATE_ORDER_ID"));
+    }
+
+    @Test
+    void moreThan5000TransitionsAreRejected() throws Exception {
+        List<Map<String, Object>> transitions = LongStream.rangeClosed(1, 5001)
+                .mapToObj(id -> transition(id, "CREATED", "PROCESSING"))
+                .toList();
+
+        send(Map.of("transitions", transitions))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("VALIDATION_ERROR"))
+                .andExpect(jsonPath("$.message").value("transitions At most 5000 transitions per request"));
+    }
+
+    @Test
+    void missingOrEmptyTransitionsAreRejected() throws Exception {
+        send(Map.of("transitions", List.of()))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("VALIDATION_ERROR"));
+
+        send(Map.of("updatedBy", "Kitchen"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("VALIDATION_ERROR"));
+    }
+
+    @Test
+    void nullOrIncompleteEntriesAreRejected() throws Exception {
+        send(Map.of("transitions", Arrays.asList(transition(1L, "CREATED", "PROCESSING"), null)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("VALIDATION_ERROR"))
+                .andExpect(jsonPath("$.message", startsWith("transitions[1]")));
+
+        Map<String, Object> withoutOrderId = new HashMap<>(transition(1L, "CREATED", "PROCESSING"));
+        withoutOrderId.remove("orderId");
+        send(Map.of("transitions", List.of(withoutOrderId)))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.error").value("VALIDATION_ERROR"))
+                .andExpect(jsonPath("$.message").value("transitions[0].orderId Order id is required"));
+    }
+
+    private ResultActions send(Map<String, Object> body) throws Exception {
+        return mockMvc.perform(patch("/api/orders/status")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(body)));
+    }
+
+    private static Map<String, Object> transition(Object orderId, String expectedStatus, String newStatus) {
+        return Map.of("orderId", orderId, "expectedStatus", expectedStatus, "newStatus", newStatus);
+    }
+
+    private long placeOrder() {
+        OrderRequest request = new OrderRequest(
+                "ivan",
+                List.of(new ProductRequest("Margherita Pizza", 1, new BigDecimal("450.00"))),
+                new BigDecimal("450.00"),
+                OffsetDateTime.now());
+        return orderService.placeOrder(request).id();
+    }
+}
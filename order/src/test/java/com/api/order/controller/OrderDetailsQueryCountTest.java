@@ -0,0 +1,116 @@
+package com.api.order.controller;
+
+import com.api.order.dto.req.OrderRequest;
+import com.api.order.dto.req.ProductRequest;
+import com.api.order.mq.OrderProducer;
+import com.api.order.service.OrderService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.orm.jpa.support.OpenEntityManagerInViewInterceptor;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@code GET /api/order/{id}} reads the order and its items with one fetch join, plus one query for the
+ * status history, and runs without open-in-view. Counted with Hibernate statistics on an H2 database.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:details;DB_CLOSE_DELAY=-1",
+        "spring.datasource.username=sa",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.generate_statistics=true",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.kafka.listener.auto-startup=false",
+        "spring.kafka.admin.auto-create=false",
+        "order.id.worker-id=1"
+})
+@AutoConfigureMockMvc
+class OrderDetailsQueryCountTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private ApplicationContext context;
+
+    @MockitoBean
+    private OrderProducer orderProducer;
+
+    private Long orderId;
+
+    private Statistics statistics;
+
+    @BeforeEach
+    void placeOrder() {
+        OrderRequest request = new OrderRequest(
+                "grace",
+                List.of(new ProductRequest("Margherita Pizza", 1, new BigDecimal("450.00")),
+                        new ProductRequest("Cold Coffee", 2, new BigDecimal("120.00"))),
+                new BigDecimal("690.00"),
+                OffsetDateTime.now());
+        orderId = orderService.placeOrder(request).id();
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @Test
+    void detailsWithHistoryTakeTwoStatements() throws Exception {
+        mockMvc.perform(get("/api/order/{id}", orderId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.statusHistory.length()").value(1));
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    @Test
+    void idsAreSentAsStrings() throws Exception {
+        // Snowflake ids exceed 2^53 and would be rounded by JavaScript clients as JSON numbers
+        assertThat(orderId).isGreaterThan(1L << 53);
+
+        mockMvc.perform(get("/api/order/{id}", orderId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value(orderId.toString()))
+                .andExpect(jsonPath("$.items[0].id").isString())
+                .andExpect(jsonPath("$.statusHistory[0].id").isString());
+    }
+
+    @Test
+    void detailsWithoutHistoryTakeOneStatement() throws Exception {
+        mockMvc.perform(get("/api/order/{id}", orderId).param("includeHistory", "false"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items.length()").value(2))
+                .andExpect(jsonPath("$.statusHistory").doesNotExist());
+
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(1);
+    }
+
+    @Test
+    void openInViewIsDisabled() {
+        assertThat(context.getBeanNamesForType(OpenEntityManagerInViewInterceptor.class)).isEmpty();
+    }
+}
@@ -0,0 +1,144 @@
+package com.api.order.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SnowflakeIdGeneratorTest {
+
+    private static final long NOW = SnowflakeIdGenerator.EPOCH + 1_000_000L;
+
+    @Test
+    void encodesTimestampAndWorkerId() {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(42, () -> NOW);
+
+        long id = generator.nextId();
+
+        assertThat(id).isPositive();
+        assertThat(SnowflakeIdGenerator.timestampOf(id)).isEqualTo(NOW);
+        assertThat(SnowflakeIdGenerator.workerIdOf(id)).isEqualTo(42);
+    }
+
+    @Test
+    void idsIncreaseWithTime() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock::get);
+
+        long first = generator.nextId();
+        clock.addAndGet(5);
+        long second = generator.nextId();
+
+        assertThat(second).isGreaterThan(first);
+        assertThat(SnowflakeIdGenerator.timestampOf(second) - SnowflakeIdGenerator.timestampOf(first)).isEqualTo(5);
+    }
+
+    @Test
+    void exhaustedSequenceWaitsForNextMillisecond() {
+        int idsPerMillisecond = (int) SnowflakeIdGenerator.SEQUENCE_MASK + 1;
+        // The clock only ticks after the generator has polled it 100 times past the exhausted millisecond
+        AtomicLong reads = new AtomicLong();
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1,
+                () -> reads.incrementAndGet() <= idsPerMillisecond + 100 ? NOW : NOW + 1);
+
+        long last = 0;
+        for (int i = 0; i < idsPerMillisecond; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(last);
+            assertThat(SnowflakeIdGenerator.timestampOf(id)).isEqualTo(NOW);
+            last = id;
+        }
+
+        long next = generator.nextId();
+
+        assertThat(next).isGreaterThan(last);
+        assertThat(SnowflakeIdGenerator.timestampOf(next)).isEqualTo(NOW + 1);
+        assertThat(reads.get()).isGreaterThan(idsPerMillisecond + 100L);
+    }
+
+    @Test
+    void smallClockStepBackWaitsAndNeverIssuesAheadOfTheClock() {
+        // Ticks one millisecond per read
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock::getAndIncrement);
+
+        long before = generator.nextId();
+        clock.set(NOW - 3);
+        long after = generator.nextId();
+
+        assertThat(after).isGreaterThan(before);
+        assertThat(SnowflakeIdGenerator.timestampOf(after)).isLessThan(clock.get());
+    }
+
+    @Test
+    void largeClockStepBackFailsUntilTheClockCatchesUp() {
+        AtomicLong clock = new AtomicLong(NOW);
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(1, clock::get);
+
+        long before = generator.nextId();
+        clock.addAndGet(-1_000);
+
+        assertThatThrownBy(generator::nextId)
+                .isInstanceOf(IllegalStateException.class)
+                .hasMessageContaining("1000 ms");
+
+        clock.set(NOW + 1);
+        long after = generator.nextId();
+
+        assertThat(after).isGreaterThan(before);
+        assertThat(SnowflakeIdGenerator.timestampOf(after)).isEqualTo(NOW + 1);
+    }
+
+    @Test
+    void concurrentCallersGetUniqueIds() throws Exception {
+        SnowflakeIdGenerator generator = new SnowflakeIdGenerator(7);
+        int threads = 8;
+        int perThread = 50_000;
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Callable<long[]>> tasks = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                tasks.add(() -> {
+                    long[] ids = new long[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        ids[i] = generator.nextId();
+                    }
+                    return ids;
+                });
+            }
+
+            Set<Long> seen = new HashSet<>();
+            for (Future<long[]> future : executor.invokeAll(tasks)) {
+                long[] ids = future.get();
+                for (int i = 0; i < ids.length; i++) {
+                    assertThat(seen.add(ids[i])).isTrue();
+                    if (i > 0) {
+                        assertThat(ids[i]).isGreaterThan(ids[i - 1]);
+                    }
+                }
+            }
+            assertThat(seen).hasSize(threads * perThread);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void rejectsWorkerIdOutOfRange() {
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(1024))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new SnowflakeIdGenerator(-1))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,175 @@
+package com.api.order.repository;
+
+import com.api.order.dto.req.OrderSearchCursor;
+import com.api.order.dto.req.OrderSearchRequest;
+import com.api.order.entity.Orders;
+import com.api.order.enums.OrderStatus;
+import com.api.order.id.IdGeneratorConfig;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validation;
+import jakarta.validation.ValidatorFactory;
+import org.hibernate.Session;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs every search filter combination against H2 and checks the plan of the SQL Hibernate
+ * actually issued: it must go through one of the {@code idx_orders_*} indexes, never a table scan.
+ * <p>
+ * H2's planner only approximates MySQL 8's: this catches a filter with no usable index, but says
+ * nothing about index choice or whether the index also yields the {@code ORDER BY} on MySQL. Check
+ * those with {@code EXPLAIN} against a MySQL copy of the schema.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+                + "com.api.order.repository.OrderSearchQueryPlanTest$CapturingInspector",
+        "order.id.worker-id=1"
+})
+@Import(IdGeneratorConfig.class)
+class OrderSearchQueryPlanTest {
+
+    private static final OffsetDateTime NOW = OffsetDateTime.of(2025, 9, 9, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @Autowired
+    private OrderRepository orderRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @BeforeEach
+    void seedOrders() {
+        OrderStatus[] statuses = OrderStatus.values();
+        for (int i = 0; i < 300; i++) {
+            Orders order = new Orders();
+            order.setCustomerName("customer-" + (i % 50));
+            order.setStatus(statuses[i % statuses.length]);
+            order.setTotalAmount(BigDecimal.TEN);
+            order.setOrderTime(NOW.minusMinutes(i));
+            entityManager.persist(order);
+        }
+        entityManager.flush();
+        entityManager.clear();
+        entityManager.createNativeQuery("ANALYZE").executeUpdate();
+        CapturingInspector.STATEMENTS.clear();
+    }
+
+    static Stream<Arguments> filterCombinations() {
+        OffsetDateTime from = NOW.minusHours(2);
+        String cursor = new OrderSearchCursor(NOW.minusMinutes(30), 1_000L).toString();
+        return Stream.of(
+                Arguments.of("status", search(OrderStatus.PROCESSING, null, null, null, null, null, null)),
+                Arguments.of("customerName", search(null, "customer-7", null, null, null, null, null)),
+                Arguments.of("customerNamePrefix", search(null, null, "customer-1", null, null, null, null)),
+                Arguments.of("orderTime", search(null, null, null, from, NOW, null, null)),
+                Arguments.of("orderTimeFrom", search(null, null, null, from, null, null, null)),
+                Arguments.of("orderTimeTo", search(null, null, null, null, from, null, null)),
+                Arguments.of("createdFrom", search(null, null, null, null, null, from, null)),
+                Arguments.of("createdTo", search(null, null, null, null, null, null, from)),
+                Arguments.of("createdFrom+createdTo", search(null, null, null, null, null, from.minusHours(1), from)),
+                Arguments.of("status+customerName", search(OrderStatus.PROCESSING, "customer-7", null, null, null, null, null)),
+                Arguments.of("status+customerNamePrefix", search(OrderStatus.PROCESSING, null, "customer-1", null, null, null, null)),
+                Arguments.of("status+orderTime", search(OrderStatus.PROCESSING, null, null, from, NOW, null, null)),
+                Arguments.of("status+orderTimeFrom", search(OrderStatus.PROCESSING, null, null, from, null, null, null)),
+                Arguments.of("status+orderTimeTo", search(OrderStatus.PROCESSING, null, null, null, from, null, null)),
+                Arguments.of("status+createdFrom", search(OrderStatus.PROCESSING, null, null, null, null, from, null)),
+                Arguments.of("status+createdTo", search(OrderStatus.PROCESSING, null, null, null, null, null, from)),
+                Arguments.of("customerName+orderTime", search(null, "customer-7", null, from, NOW, null, null)),
+                Arguments.of("customerName+orderTimeFrom", search(null, "customer-7", null, from, null, null, null)),
+                Arguments.of("customerName+createdFrom", search(null, "customer-7", null, null, null, from, null)),
+                Arguments.of("customerName+createdFrom+createdTo",
+                        search(null, "customer-7", null, null, null, from.minusHours(1), from)),
+                Arguments.of("customerNamePrefix+createdFrom", search(null, null, "customer-1", null, null, from, null)),
+                Arguments.of("customerNamePrefix+createdTo", search(null, null, "customer-1", null, null, null, from)),
+                Arguments.of("customerNamePrefix+orderTime", search(null, null, "customer-1", from, NOW, null, null)),
+                Arguments.of("status+customerName+orderTime", search(OrderStatus.PROCESSING, "customer-7", null, from, NOW, null, null)),
+                // The motivating query: PROCESSING orders of one customer in the last 2 hours
+                Arguments.of("status+customerName+orderTimeFrom",
+                        search(OrderStatus.PROCESSING, "customer-7", null, from, null, null, null)),
+                Arguments.of("status+customerName+createdFrom",
+                        search(OrderStatus.PROCESSING, "customer-7", null, null, null, from, null)),
+                Arguments.of("status+customerNamePrefix+orderTimeFrom",
+                        search(OrderStatus.PROCESSING, null, "customer-1", from, null, null, null)),
+                Arguments.of("status+cursor",
+                        new OrderSearchRequest(OrderStatus.PROCESSING, null, null, null, null, null, null, cursor, null)),
+                Arguments.of("status+customerName+orderTime+cursor",
+                        new OrderSearchRequest(OrderStatus.PROCESSING, "customer-7", null, from, NOW, null, null, cursor, null))
+        );
+    }
+
+    @ParameterizedTest(name = "{0}")
+    @MethodSource("filterCombinations")
+    void searchUsesAnIndex(String combination, OrderSearchRequest request) {
+        OrderSearchCursor after = request.cursor() != null ? OrderSearchCursor.parse(request.cursor()) : null;
+        orderRepository.search(request, after, 11);
+
+        String sql = CapturingInspector.STATEMENTS.stream()
+                .filter(statement -> statement.startsWith("select"))
+                .reduce((first, second) -> second)
+                .orElseThrow();
+
+        String plan = entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + sql);
+                 ResultSet rs = explain.executeQuery()) {
+                rs.next();
+                return rs.getString(1);
+            }
+        });
+
+        assertThat(plan)
+                .as("plan for %s:%n%s", combination, plan)
+                .containsIgnoringCase("IDX_ORDERS_")
+                .doesNotContainIgnoringCase("tableScan");
+    }
+
+    @Test
+    void emptyCustomerNamePrefixIsRejected() {
+        // It would pass hasFilter() yet match every row
+        try (ValidatorFactory factory = Validation.buildDefaultValidatorFactory()) {
+            Set<ConstraintViolation<OrderSearchRequest>> violations = factory.getValidator()
+                    .validate(search(null, null, "", null, null, null, null));
+
+            assertThat(violations)
+                    .extracting(violation -> violation.getPropertyPath().toString())
+                    .containsExactly("customerNamePrefix");
+        }
+    }
+
+    private static OrderSearchRequest search(OrderStatus status, String customerName, String customerNamePrefix,
+                                             OffsetDateTime orderTimeFrom, OffsetDateTime orderTimeTo,
+                                             OffsetDateTime createdFrom, OffsetDateTime createdTo) {
+        return new OrderSearchRequest(status, customerName, customerNamePrefix,
+                orderTimeFrom, orderTimeTo, createdFrom, createdTo, null, null);
+    }
+
+    public static class CapturingInspector implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -0,0 +1,327 @@
+package com.api.order.sharding;
+
+import com.api.order.dto.req.BulkStatusUpdateRequest;
+import com.api.order.dto.req.OrderRequest;
+import com.api.order.dto.req.OrderSearchRequest;
+import com.api.order.dto.req.ProductRequest;
+import com.api.order.dto.req.StatusTransitionRequest;
+import com.api.order.dto.res.BulkStatusUpdateResponse;
+import com.api.order.dto.res.OrderDetailResponse;
+import com.api.order.dto.res.OrderResponse;
+import com.api.order.dto.res.OrderSearchResponse;
+import com.api.order.dto.res.StatusTransitionResponse;
+import com.api.order.enums.OrderStatus;
+import com.api.order.enums.TransitionOutcome;
+import com.api.order.exceptions.ApiException;
+import com.api.order.mq.OrderProducer;
+import com.api.order.service.OrderService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Three embedded H2 databases as shards, driven through the real service layer.
+ */
+@SpringBootTest(properties = {
+        "order.sharding.datasources[0].url=jdbc:h2:mem:shard0;DB_CLOSE_DELAY=-1",
+        "order.sharding.datasources[0].username=sa",
+        "order.sharding.datasources[0].driverClassName=org.h2.Driver",
+        "order.sharding.datasources[1].url=jdbc:h2:mem:shard1;DB_CLOSE_DELAY=-1",
+        "order.sharding.datasources[1].username=sa",
+        "order.sharding.datasources[1].driverClassName=org.h2.Driver",
+        "order.sharding.datasources[2].url=jdbc:h2:mem:shard2;DB_CLOSE_DELAY=-1",
+        "order.sharding.datasources[2].username=sa",
+        "order.sharding.datasources[2].driverClassName=org.h2.Driver",
+        "spring.jpa.properties.hibernate.dialect=org.hibernate.dialect.H2Dialect",
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.kafka.listener.auto-startup=false",
+        "spring.kafka.admin.auto-create=false",
+        "order.id.worker-id=1"
+})
+class ShardedOrderStorageTest {
+
+    private static final int ORDERS = 30;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private ShardRouter shardRouter;
+
+    @Autowired
+    private ShardRoutingDataSource dataSource;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @MockitoBean
+    private OrderProducer orderProducer;
+
+    @BeforeEach
+    void clearShards() {
+        for (int shard = 0; shard < dataSource.getShardCount(); shard++) {
+            JdbcTemplate jdbc = shardJdbc(shard);
+            jdbc.update("delete from order_status_details");
+            jdbc.update("delete from products");
+            jdbc.update("delete from orders");
+        }
+    }
+
+    @Test
+    void ordersAndTheirRowsLiveOnTheShardTheirIdHashesTo() {
+        List<Long> ids = placeOrders("alice", ORDERS);
+
+        int[] perShard = new int[dataSource.getShardCount()];
+        for (Long id : ids) {
+            int owner = shardRouter.shardFor(id);
+            perShard[owner]++;
+            for (int shard = 0; shard < dataSource.getShardCount(); shard++) {
+                int expected = shard == owner ? 1 : 0;
+                JdbcTemplate jdbc = shardJdbc(shard);
+                assertThat(count(jdbc, "select count(*) from orders where id = ?", id)).isEqualTo(expected);
+                assertThat(count(jdbc, "select count(*) from products where order_fk_id = ?", id)).isEqualTo(2 * expected);
+                assertThat(count(jdbc, "select count(*) from order_status_details where order_fk_id = ?", id)).isEqualTo(expected);
+            }
+        }
+
+        assertThat(perShard).doesNotContain(0);
+    }
+
+    @Test
+    void readsAndUpdatesRouteToTheOwningShard() {
+        List<Long> ids = placeOrders("bob", 6);
+
+        for (Long id : ids) {
+            orderService.updateOrder(Map.of("id", id.toString(), "status", "COMPLETED"));
+
+            OrderDetailResponse details = orderService.getOrderDetails(id, true);
+            assertThat(details.id()).isEqualTo(id);
+            assertThat(details.items()).hasSize(2);
+            assertThat(details.status()).isEqualTo("COMPLETED");
+            assertThat(details.statusHistory()).extracting("status").containsExactly("CREATED", "COMPLETED");
+        }
+    }
+
+    @Test
+    void routingInsideAForeignTransactionFails() {
+        TransactionTemplate unrouted = new TransactionTemplate(transactionManager);
+
+        unrouted.executeWithoutResult(status ->
+                assertThatThrownBy(() -> shardRouter.executeOnShard(0, () -> null))
+                        .isInstanceOf(IllegalStateException.class)
+                        .hasMessageContaining("not opened through ShardRouter"));
+
+        shardRouter.executeOnShard(1, () -> {
+            assertThat(shardRouter.executeOnShard(1, () -> "nested")).isEqualTo("nested");
+            assertThatThrownBy(() -> shardRouter.executeOnShard(2, () -> null))
+                    .isInstanceOf(IllegalStateException.class)
+                    .hasMessageContaining("on shard 1");
+            return null;
+        });
+    }
+
+    @Test
+    void listingGathersEveryShardInIdOrder() {
+        List<Long> ids = placeOrders("carol", ORDERS);
+
+        List<Long> listed = new ArrayList<>();
+        Page<OrderResponse> page;
+        int pageNumber = 0;
+        do {
+            page = orderService.getAllOrders(PageRequest.of(pageNumber++, 7));
+            assertThat(page.getTotalElements()).isEqualTo(ORDERS);
+            page.getContent().forEach(order -> listed.add(order.id()));
+        } while (page.hasNext());
+
+        assertThat(listed).isSortedAccordingTo(Comparator.naturalOrder());
+        assertThat(listed).containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    @Test
+    void listingRejectsPagesBeyondTheWindow() {
+        assertThatThrownBy(() -> orderService.getAllOrders(PageRequest.of(1_000, 10)))
+                .isInstanceOf(ApiException.class)
+                .extracting("errorCode").isEqualTo("PAGE_TOO_DEEP");
+        assertThatThrownBy(() -> orderService.getAllOrders(PageRequest.of(Integer.MAX_VALUE / 2, 100)))
+                .isInstanceOf(ApiException.class)
+                .extracting("errorCode").isEqualTo("PAGE_TOO_DEEP");
+    }
+
+    @Test
+    void concurrentScatterCallsRunTogetherOnNamedThreads() throws Exception {
+        int callers = 6;
+        // Every shard task of every caller has to be in flight at the same time to get past the latch
+        CountDownLatch allRunning = new CountDownLatch(callers * dataSource.getShardCount());
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<List<String>>> calls = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                calls.add(executor.submit(() -> shardRouter.executeOnAllShards(() -> {
+                    allRunning.countDown();
+                    try {
+                        assertThat(allRunning.await(10, TimeUnit.SECONDS)).isTrue();
+                    } catch (InterruptedException ex) {
+                        Thread.currentThread().interrupt();
+                        throw new IllegalStateException(ex);
+                    }
+                    return Thread.currentThread().getName();
+                })));
+            }
+
+            Set<String> scatterThreads = new HashSet<>();
+            for (Future<List<String>> call : calls) {
+                List<String> threads = call.get(20, TimeUnit.SECONDS);
+                assertThat(threads.get(0)).startsWith("pool-");
+                scatterThreads.addAll(threads.subList(1, threads.size()));
+            }
+            assertThat(scatterThreads)
+                    .hasSize(callers * (dataSource.getShardCount() - 1))
+                    .allMatch(name -> name.startsWith("shard-scatter-"));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void searchPagesAcrossShardsByKeyset() {
+        // Three orders per orderTime, so page boundaries fall inside runs of equal times
+        OffsetDateTime start = OffsetDateTime.now(ZoneOffset.UTC).truncatedTo(ChronoUnit.SECONDS);
+        List<Long> ids = placeOrders("dave", ORDERS, i -> start.minusMinutes(i % 10));
+        placeOrders("erin", 5);
+
+        List<OrderResponse> found = new ArrayList<>();
+        String cursor = null;
+        OrderSearchResponse response;
+        do {
+            response = orderService.searchOrders(
+                    new OrderSearchRequest(null, "dave", null, null, null, null, null, cursor, 4));
+            found.addAll(response.content());
+            cursor = response.nextCursor();
+        } while (response.hasNext());
+
+        assertThat(found).isSortedAccordingTo(Comparator
+                .comparing(OrderResponse::orderTime, OffsetDateTime.timeLineOrder())
+                .thenComparing(OrderResponse::id)
+                .reversed());
+        assertThat(found).extracting(OrderResponse::id).containsExactlyInAnyOrderElementsOf(ids);
+    }
+
+    @Test
+    void bulkTransitionsApplyOnEveryShardAndReportEachOrder() {
+        List<Long> ids = placeOrders("frank", 12);
+        Long stale = ids.get(0);
+        orderService.updateOrder(Map.of("id", stale.toString(), "status", "COMPLETED"));
+        Long unchanged = placeOrders("frank", 1).get(0);
+        Long missing = -1L;
+
+        List<StatusTransitionRequest> transitions = new ArrayList<>();
+        ids.forEach(id -> transitions.add(new StatusTransitionRequest(id, OrderStatus.CREATED, OrderStatus.PROCESSING)));
+        transitions.add(new StatusTransitionRequest(missing, OrderStatus.CREATED, OrderStatus.PROCESSING));
+        transitions.add(new StatusTransitionRequest(unchanged, OrderStatus.CREATED, OrderStatus.CREATED));
+
+        BulkStatusUpdateResponse response = orderService.updateOrderStatuses(new BulkStatusUpdateRequest(transitions, "Kitchen"));
+
+        assertThat(response.updated()).isEqualTo(ids.size() - 1);
+        assertThat(response.results()).extracting(StatusTransitionResponse::orderId)
+                .containsExactlyElementsOf(transitions.stream().map(StatusTransitionRequest::orderId).toList());
+        assertThat(response.results().get(0))
+                .isEqualTo(new StatusTransitionResponse(stale, TransitionOutcome.STATUS_MISMATCH, "COMPLETED"));
+        assertThat(response.results().get(ids.size()))
+                .isEqualTo(new StatusTransitionResponse(missing, TransitionOutcome.NOT_FOUND, null));
+        assertThat(response.results().get(ids.size() + 1))
+                .isEqualTo(new StatusTransitionResponse(unchanged, TransitionOutcome.UNCHANGED, "CREATED"));
+        assertThat(orderService.getOrderDetails(unchanged, true).statusHistory()).hasSize(1);
+
+        for (Long id : ids.subList(1, ids.size())) {
+            OrderDetailResponse details = orderService.getOrderDetails(id, true);
+            assertThat(details.status()).isEqualTo("PROCESSING");
+            assertThat(details.updatedAt()).isNotNull();
+            assertThat(details.statusHistory()).extracting("status").containsExactly("CREATED", "PROCESSING");
+            assertThat(details.statusHistory().get(1).updatedBy()).isEqualTo("Kitchen");
+        }
+        assertThat(orderService.getOrderDetails(stale, true).statusHistory()).hasSize(2);
+    }
+
+    @Test
+    void bulkTransitionsReportOrdersOfAFailedShardAsFailed() {
+        List<Long> ids = placeOrders("heidi", 12);
+        int brokenShard = shardRouter.shardFor(ids.get(0));
+        List<StatusTransitionRequest> transitions = ids.stream()
+                .map(id -> new StatusTransitionRequest(id, OrderStatus.CREATED, OrderStatus.PROCESSING))
+                .toList();
+
+        // The status log insert fails on that shard, after its UPDATE has run
+        JdbcTemplate broken = shardJdbc(brokenShard);
+        broken.execute("alter table order_status_details rename to order_status_details_off");
+        BulkStatusUpdateResponse response;
+        try {
+            response = orderService.updateOrderStatuses(new BulkStatusUpdateRequest(transitions, "Kitchen"));
+        } finally {
+            broken.execute("alter table order_status_details_off rename to order_status_details");
+        }
+
+        long onBrokenShard = ids.stream().filter(id -> shardRouter.shardFor(id) == brokenShard).count();
+        assertThat(response.failed()).isEqualTo(onBrokenShard);
+        assertThat(response.updated()).isEqualTo(ids.size() - onBrokenShard);
+
+        for (StatusTransitionResponse result : response.results()) {
+            boolean failed = shardRouter.shardFor(result.orderId()) == brokenShard;
+            assertThat(result.outcome()).isEqualTo(failed ? TransitionOutcome.FAILED : TransitionOutcome.UPDATED);
+            assertThat(orderService.getOrderDetails(result.orderId(), false).status())
+                    .isEqualTo(failed ? "CREATED" : "PROCESSING");
+        }
+    }
+
+    private List<Long> placeOrders(String customerName, int count) {
+        return placeOrders(customerName, count, i -> OffsetDateTime.now());
+    }
+
+    private List<Long> placeOrders(String customerName, int count, IntFunction<OffsetDateTime> orderTime) {
+        List<Long> ids = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            OrderRequest request = new OrderRequest(
+                    customerName,
+                    List.of(new ProductRequest("Margherita Pizza", 1, new BigDecimal("450.00")),
+                            new ProductRequest("Cold Coffee", 2, new BigDecimal("120.00"))),
+                    new BigDecimal("690.00"),
+                    orderTime.apply(i));
+            ids.add(orderService.placeOrder(request).id());
+        }
+        return ids;
+    }
+
+    private JdbcTemplate shardJdbc(int shard) {
+        return new JdbcTemplate(dataSource.getShard(shard));
+    }
+
+    private static int count(JdbcTemplate jdbc, String sql, Long id) {
+        return jdbc.queryForObject(sql, Integer.class, id);
+    }
+}
@@ -0,0 +1,61 @@
+package com.api.order.sharding;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.context.annotation.Configuration;
+
+import java.sql.SQLException;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ShardingConfigTest {
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(DataSourcePropertiesConfig.class, ShardingConfig.class);
+
+    @Test
+    void singleShardKeepsSpringDatasourceHikariSettings() {
+        contextRunner
+                .withPropertyValues(
+                        "spring.datasource.url=jdbc:h2:mem:single",
+                        "spring.datasource.hikari.maximum-pool-size=7",
+                        "spring.datasource.hikari.pool-name=orders")
+                .run(context -> {
+                    HikariDataSource pool = hikari(context.getBean(ShardRoutingDataSource.class), 0);
+                    assertThat(pool.getMaximumPoolSize()).isEqualTo(7);
+                    assertThat(pool.getPoolName()).isEqualTo("orders");
+                });
+    }
+
+    @Test
+    void everyShardBindsItsOwnHikariSettings() {
+        contextRunner
+                .withPropertyValues(
+                        "order.sharding.datasources[0].url=jdbc:h2:mem:a",
+                        "order.sharding.datasources[0].hikari.maximum-pool-size=4",
+                        "order.sharding.datasources[1].url=jdbc:h2:mem:b",
+                        "order.sharding.datasources[1].hikari.maximum-pool-size=12",
+                        "order.sharding.datasources[1].hikari.connection-timeout=5000",
+                        "order.sharding.datasources[2].url=jdbc:h2:mem:c")
+                .run(context -> {
+                    ShardRoutingDataSource dataSource = context.getBean(ShardRoutingDataSource.class);
+                    assertThat(hikari(dataSource, 0).getMaximumPoolSize()).isEqualTo(4);
+                    assertThat(hikari(dataSource, 1).getMaximumPoolSize()).isEqualTo(12);
+                    assertThat(hikari(dataSource, 1).getConnectionTimeout()).isEqualTo(5000);
+                    assertThat(hikari(dataSource, 2).getMaximumPoolSize()).isEqualTo(10);
+                    assertThat(hikari(dataSource, 2).getPoolName()).isEqualTo("shard-2");
+                });
+    }
+
+    private static HikariDataSource hikari(ShardRoutingDataSource dataSource, int shard) throws SQLException {
+        return dataSource.getShard(shard).unwrap(HikariDataSource.class);
+    }
+
+    @Configuration(proxyBeanMethods = false)
+    @EnableConfigurationProperties(DataSourceProperties.class)
+    static class DataSourcePropertiesConfig {
+    }
+}
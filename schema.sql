@@ -23,7 +23,7 @@ DROP TABLE IF EXISTS `order_status_details`;
 /*!40101 SET @saved_cs_client     = @@character_set_client */;
 /*!50503 SET character_set_client = utf8mb4 */;
 CREATE TABLE `order_status_details` (
-  `id` bigint NOT NULL AUTO_INCREMENT,
+  `id` bigint NOT NULL,
   `order_fk_id` bigint NOT NULL,
   `updated_at` timestamp NOT NULL,
   `notes` text,
@@ -33,7 +33,7 @@ CREATE TABLE `order_status_details` (
   KEY `idx_orders_ids` (`order_fk_id`),
   KEY `idx_ids` (`id`),
   CONSTRAINT `FK2vg4kn1nygc5pu4dsh5g9k1hj` FOREIGN KEY (`order_fk_id`) REFERENCES `orders` (`id`)
-) ENGINE=InnoDB AUTO_INCREMENT=6 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
 --
@@ -46,15 +46,19 @@ DROP TABLE IF EXISTS `orders`;
 CREATE TABLE `orders` (
   `total_amount` decimal(13,2) NOT NULL,
   `created_at` timestamp NULL DEFAULT CURRENT_TIMESTAMP,
-  `id` bigint NOT NULL AUTO_INCREMENT,
+  `id` bigint NOT NULL,
   `order_time` datetime(6) NOT NULL,
   `updated_at` timestamp NULL DEFAULT NULL,
   `customer_name` varchar(255) NOT NULL,
   `notes` varchar(255) DEFAULT NULL,
   `status` enum('COMPLETED','CREATED','PROCESSING') DEFAULT NULL,
   PRIMARY KEY (`id`),
-  KEY `idx_orders_id` (`id`)
-) ENGINE=InnoDB AUTO_INCREMENT=3 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+  KEY `idx_orders_id` (`id`),
+  KEY `idx_orders_customer_time` (`customer_name`,`order_time`),
+  KEY `idx_orders_status_time` (`status`,`order_time`),
+  KEY `idx_orders_order_time` (`order_time`),
+  KEY `idx_orders_created_at` (`created_at`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
 
 --
@@ -67,7 +71,7 @@ DROP TABLE IF EXISTS `products`;
 CREATE TABLE `products` (
   `price` decimal(13,2) NOT NULL,
   `quantity` int NOT NULL,
-  `id` bigint NOT NULL AUTO_INCREMENT,
+  `id` bigint NOT NULL,
   `order_fk_id` bigint DEFAULT NULL,
   `description` varchar(255) DEFAULT NULL,
   `name` varchar(255) NOT NULL,
@@ -75,7 +79,7 @@ CREATE TABLE `products` (
   KEY `idx_orders_id` (`id`),
   KEY `idx_orders_ids` (`order_fk_id`),
   CONSTRAINT `FK8fpmwsddqi8rpb6mvbvkbwh7e` FOREIGN KEY (`order_fk_id`) REFERENCES `orders` (`id`)
-) ENGINE=InnoDB AUTO_INCREMENT=5 DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4 COLLATE=utf8mb4_0900_ai_ci;
 /*!40101 SET character_set_client = @saved_cs_client */;
 /*!40103 SET TIME_ZONE=@OLD_TIME_ZONE */;
 